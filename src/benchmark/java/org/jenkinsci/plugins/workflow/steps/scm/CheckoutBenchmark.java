@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.scm.NullSCM;
+import hudson.scm.SCMRevisionState;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import jenkins.model.Jenkins;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures what {@link SCMStep#checkout} adds on top of the SCM itself:
+ * changelog file handling, baseline lookup, revision state recording and listener notification.
+ * The SCM does nothing, so only plugin (and core) overhead is measured.
+ */
+@JmhBenchmark
+public class CheckoutBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class JenkinsState extends JmhBenchmarkState {
+
+        @Param({"false", "true"})
+        public boolean poll;
+
+        FreeStyleBuild build;
+        FilePath workspace;
+        Launcher launcher;
+        GenericSCMStep step;
+
+        @Override public void setup() throws Exception {
+            FreeStyleProject p = Jenkins.get().createProject(FreeStyleProject.class, "p");
+            build = p.scheduleBuild2(0).get();
+            workspace = new FilePath(Files.createTempDirectory("checkout-benchmark").toFile());
+            launcher = Jenkins.get().createLauncher(TaskListener.NULL);
+            step = new GenericSCMStep(new NoOpSCM());
+            step.setPoll(poll);
+        }
+
+        /** The step deletes unmodified changelog files itself, but make sure nothing accumulates regardless. */
+        @TearDown(Level.Iteration) public void deleteChangelogs() throws IOException {
+            try (DirectoryStream<Path> changelogs = Files.newDirectoryStream(build.getRootDir().toPath(), "changelog*.xml")) {
+                for (Path changelog : changelogs) {
+                    Files.deleteIfExists(changelog);
+                }
+            }
+        }
+
+        @Override public void tearDown() {
+            try {
+                workspace.deleteRecursive();
+            } catch (Exception x) {
+                throw new AssertionError(x);
+            }
+        }
+
+    }
+
+    @Benchmark public void checkout(JenkinsState state) throws Exception {
+        state.step.checkout(state.build, state.workspace, TaskListener.NULL, state.launcher);
+    }
+
+    /** Touches neither the workspace nor the changelog, but does produce a polling baseline. */
+    private static final class NoOpSCM extends NullSCM {
+
+        private static final SCMRevisionState STATE = new Revision("0123456789abcdef");
+
+        @Override public void checkout(Run<?,?> build, Launcher launcher, FilePath workspace, TaskListener listener, File changelogFile, SCMRevisionState baseline) {
+        }
+
+        @Override public SCMRevisionState calcRevisionsFromBuild(Run<?,?> build, FilePath workspace, Launcher launcher, TaskListener listener) {
+            return STATE;
+        }
+
+    }
+
+    private static final class Revision extends SCMRevisionState {
+
+        private final String hash;
+
+        Revision(String hash) {
+            this.hash = hash;
+        }
+
+    }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import hudson.scm.NullSCM;
+import hudson.scm.SCM;
+import hudson.model.Run;
+import hudson.scm.SCMRevisionState;
+import java.util.Objects;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link MultiSCMRevisionState} access when several branches of a build check out concurrently.
+ * Access is guarded the same way {@link SCMStep#checkout} guards it, by locking on the owning run.
+ */
+@JmhBenchmark
+public class MultiSCMRevisionStateBenchmark {
+
+    private static final int SCMS = 16;
+
+    @State(Scope.Group)
+    public static class SharedState {
+
+        final Object run = new Object();
+        final MultiSCMRevisionState state = new MultiSCMRevisionState();
+        final SCM[] scms = new SCM[SCMS];
+
+        @Setup(Level.Trial) public void setup() {
+            for (int i = 0; i < SCMS; i++) {
+                scms[i] = new KeyedSCM("repo-" + i);
+                state.add(scms[i], new Revision(i));
+            }
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    /** Needs a running Jenkins for {@link Run#XSTREAM2}. */
+    @State(Scope.Benchmark)
+    public static class LoadState extends JmhBenchmarkState {
+
+        String xml;
+        SCM scm;
+
+        @Override public void setup() {
+            MultiSCMRevisionState state = new MultiSCMRevisionState();
+            for (int i = 0; i < SCMS; i++) {
+                state.add(new KeyedSCM("repo-" + i), new Revision(i));
+            }
+            scm = new KeyedSCM("repo-0");
+            xml = Run.XSTREAM2.toXML(state);
+        }
+
+    }
+
+    @Benchmark @Group("contended") @GroupThreads(1)
+    public void add(SharedState shared, Cursor cursor) {
+        SCM scm = shared.scms[cursor.next++ % SCMS];
+        synchronized (shared.run) {
+            // A fresh but equal instance each time, as a new build would record.
+            shared.state.add(scm, new Revision(cursor.next % SCMS));
+        }
+    }
+
+    @Benchmark @Group("contended") @GroupThreads(3)
+    public SCMRevisionState get(SharedState shared, Cursor cursor) {
+        SCM scm = shared.scms[cursor.next++ % SCMS];
+        synchronized (shared.run) {
+            return shared.state.get(scm);
+        }
+    }
+
+    /** Loads a build record, interning its states, and looks up one of its SCMs, as polling does. */
+    @Benchmark
+    public SCMRevisionState load(LoadState load) {
+        return ((MultiSCMRevisionState) Run.XSTREAM2.fromXML(load.xml)).get(load.scm);
+    }
+
+    private static final class Revision extends SCMRevisionState {
+
+        private final String hash;
+
+        Revision(int i) {
+            hash = String.format("%040x", i);
+        }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof Revision other && hash.equals(other.hash);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(hash);
+        }
+
+    }
+
+    private static final class KeyedSCM extends NullSCM {
+
+        private final String key;
+
+        KeyedSCM(String key) {
+            this.key = key;
+        }
+
+        @Override public String getKey() {
+            return key;
+        }
+
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import hudson.model.TaskListener;
+import java.util.Arrays;
+import jenkins.benchmark.jmh.JmhBenchmark;
+import jenkins.benchmark.jmh.JmhBenchmarkState;
+import jenkins.model.Jenkins;
+import jenkins.scm.impl.mock.MockSCMController;
+import jenkins.scm.impl.mock.MockSCMDiscoverBranches;
+import jenkins.scm.impl.mock.MockSCMSource;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link ReadScmFileStep} throughput against an in-memory {@link MockSCMSource}.
+ */
+@JmhBenchmark
+public class ReadScmFileBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class JenkinsState extends JmhBenchmarkState {
+
+        /** File size in bytes: a typical configuration file, and a large generated one. */
+        @Param({"1024", "4194304"})
+        public int size;
+
+        MockSCMController controller;
+        WorkflowJob job;
+        ReadScmFileStep step;
+
+        @Override public void setup() throws Exception {
+            controller = MockSCMController.create();
+            controller.createRepository("repo");
+            byte[] content = new byte[size];
+            Arrays.fill(content, (byte) 'x');
+            controller.addFile("repo", "master", "initial", "config.txt", content);
+            job = Jenkins.get().createProject(WorkflowJob.class, "p");
+            step = new ReadScmFileStep(new MockSCMSource(controller, "repo", new MockSCMDiscoverBranches()), "master", "config.txt");
+        }
+
+        @Override public void tearDown() {
+            controller.close();
+        }
+
+    }
+
+    @Benchmark public String read(JenkinsState state) throws Exception {
+        return state.step.read(TaskListener.NULL, state.job);
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.scm.SCM;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jenkins.scm.api.SCMSource;
+
+/**
+ * Java Flight Recorder events for SCM activity of Pipeline steps.
+ * Fields are only computed when the event is actually recorded, so these cost next to nothing while no recording is running.
+ */
+final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {}
+
+    @Category({"Jenkins", "SCM"})
+    @StackTrace(false)
+    abstract static class CheckoutEvent extends Event {
+
+        @Label("Job")
+        String job;
+
+        @Label("Build")
+        int build;
+
+        @Label("SCM Key")
+        String scmKey;
+
+        @Label("Failure")
+        String failure;
+
+        final void failed(Throwable x) {
+            if (shouldCommit()) {
+                failure = x.toString();
+            }
+        }
+
+        final void commit(Run<?,?> run, SCM scm) {
+            if (shouldCommit()) {
+                job = run.getParent().getFullName();
+                build = run.getNumber();
+                scmKey = scm.getKey();
+                commit();
+            }
+        }
+
+    }
+
+    @Name("org.jenkinsci.plugins.workflow.steps.scm.CheckoutAttempt")
+    @Label("Checkout Attempt")
+    static final class CheckoutAttempt extends CheckoutEvent {
+
+        @Label("Attempt")
+        int attempt;
+
+    }
+
+    @Name("org.jenkinsci.plugins.workflow.steps.scm.CheckoutRetryWait")
+    @Label("Checkout Retry Wait")
+    static final class CheckoutRetryWait extends CheckoutEvent {
+    }
+
+    @Name("org.jenkinsci.plugins.workflow.steps.scm.CalcRevisionsFromBuild")
+    @Label("Calculate Polling Baseline")
+    static final class CalcRevisionsFromBuild extends CheckoutEvent {
+    }
+
+    @Name("org.jenkinsci.plugins.workflow.steps.scm.SCMListener")
+    @Label("SCM Listener")
+    static final class Listener extends CheckoutEvent {
+
+        @Label("Listener")
+        Class<?> listener;
+
+    }
+
+    @Category({"Jenkins", "SCM"})
+    @StackTrace(false)
+    abstract static class ReadScmFileEvent extends Event {
+
+        @Label("Job")
+        String job;
+
+        @Label("SCM Source")
+        Class<?> source;
+
+        @Label("SCM Source ID")
+        String sourceId;
+
+        @Label("SCM Key")
+        String scmKey;
+
+        @Label("Version")
+        String version;
+
+        @Label("Path")
+        String path;
+
+        @Label("Failure")
+        String failure;
+
+        final void failed(Throwable x) {
+            if (shouldCommit()) {
+                failure = x.toString();
+            }
+        }
+
+        final void commit(Item context, SCMSource scm, String version, String path) {
+            if (shouldCommit()) {
+                job = context.getFullName();
+                source = scm.getClass();
+                sourceId = scm.getId();
+                scmKey = ReadScmFileStep.scmKey(scm, version);
+                this.version = version;
+                this.path = path;
+                commit();
+            }
+        }
+
+    }
+
+    @Name("org.jenkinsci.plugins.workflow.steps.scm.ReadScmFileFetch")
+    @Label("Read SCM File: Fetch Revision")
+    static final class ReadScmFileFetch extends ReadScmFileEvent {
+    }
+
+    @Name("org.jenkinsci.plugins.workflow.steps.scm.ReadScmFileOpen")
+    @Label("Read SCM File: Open File System")
+    static final class ReadScmFileOpen extends ReadScmFileEvent {
+    }
+
+    @Name("org.jenkinsci.plugins.workflow.steps.scm.ReadScmFileRead")
+    @Label("Read SCM File: Read Content")
+    static final class ReadScmFileRead extends ReadScmFileEvent {
+
+        @Label("Size")
+        @DataAmount
+        long bytes;
+
+    }
+
+}
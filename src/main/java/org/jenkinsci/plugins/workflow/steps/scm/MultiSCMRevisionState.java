@@ -24,13 +24,17 @@
 
 package org.jenkinsci.plugins.workflow.steps.scm;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import hudson.scm.SCM;
 import hudson.scm.SCMRevisionState;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import jenkins.scm.api.SCMRevision;
 
 /**
  * A special revision state that can accommodate multiple SCMs, using {@link SCM#getKey}.
@@ -38,17 +42,39 @@ import edu.umd.cs.findbugs.annotations.NonNull;
  */
 final class MultiSCMRevisionState extends SCMRevisionState {
 
+    private static final Logger LOGGER = Logger.getLogger(MultiSCMRevisionState.class.getName());
+
+    /**
+     * Canonical instances of revision states which define {@code equals}.
+     * Consecutive builds usually record identical states, so this lets loaded build records share one copy.
+     */
+    private static final Interner<SCMRevisionState> CANONICAL = Interners.newWeakInterner();
+
+    private static final ClassValue<Boolean> DEFINES_EQUALS = new ClassValue<>() {
+        @Override protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class
+                    && type.getMethod("hashCode").getDeclaringClass() != Object.class;
+            } catch (NoSuchMethodException x) {
+                return false;
+            }
+        }
+    };
+
 	private final Map<String,SCMRevisionState> revisionStates;
 
+    /** Revisions recorded by {@link SCMStep#resolve}; null in records written before those existed. */
+    private @CheckForNull Map<String,SCMRevision> revisions;
+
 	MultiSCMRevisionState() {
 		revisionStates = new HashMap<String, SCMRevisionState>();
 	}
 
 	public void add(@NonNull SCM scm, @NonNull SCMRevisionState scmState) {
         String key = scm.getKey();
-        SCMRevisionState old = revisionStates.put(key, scmState);
+        SCMRevisionState old = revisionStates.put(key, intern(scmState));
         if (old != null) {
-            Logger.getLogger(MultiSCMRevisionState.class.getName()).log(Level.FINE, "overriding old revision state {0} from {1}", new Object[] {old, key});
+            LOGGER.log(Level.FINE, "overriding old revision state {0} from {1}", new Object[] {old, key});
         }
 	}
 
@@ -56,6 +82,33 @@ final class MultiSCMRevisionState extends SCMRevisionState {
 		return revisionStates.get(scm.getKey());
 	}
 
+    public void addRevision(@NonNull SCM scm, @NonNull SCMRevision revision) {
+        if (revisions == null) {
+            revisions = new HashMap<>();
+        }
+        revisions.put(scm.getKey(), revision);
+    }
+
+    public @CheckForNull SCMRevision getRevision(@NonNull SCM scm) {
+        return revisions != null ? revisions.get(scm.getKey()) : null;
+    }
+
+    private Object readResolve() {
+        revisionStates.replaceAll((key, state) -> intern(state));
+        return this;
+    }
+
+    /**
+     * Finds a canonical instance equal to the given state.
+     * States which do not define {@code equals} are returned as is.
+     */
+    static SCMRevisionState intern(SCMRevisionState state) {
+        if (state == null || state == SCMRevisionState.NONE || !DEFINES_EQUALS.get(state.getClass())) {
+            return state;
+        }
+        return CANONICAL.intern(state);
+    }
+
     @Override public String toString() {
         return "MultiSCMRevisionState" + revisionStates;
     }
@@ -24,12 +24,21 @@
 
 package org.jenkinsci.plugins.workflow.steps.scm;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import hudson.AbortException;
 import hudson.Extension;
+import hudson.model.Item;
 import hudson.model.Run;
 import hudson.model.TaskListener;
+import hudson.scm.SCM;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import jenkins.scm.api.SCMFileSystem;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.api.SCMRevision;
 import jenkins.scm.api.SCMSource;
 import org.jenkinsci.plugins.workflow.steps.Step;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
@@ -40,6 +49,8 @@ import org.kohsuke.stapler.DataBoundConstructor;
 
 public final class ReadScmFileStep extends Step {
 
+    private static final Logger LOGGER = Logger.getLogger(ReadScmFileStep.class.getName());
+
     private final SCMSource scm;
     private final String version;
     private final String path;
@@ -62,6 +73,88 @@ public final class ReadScmFileStep extends Step {
         return path;
     }
 
+    /**
+     * Loads the file contents.
+     * @param listener where to print messages from the SCM
+     * @param context the item on whose behalf the revision is fetched
+     */
+    String read(TaskListener listener, Item context) throws Exception {
+        var circuit = SCMCircuitBreaker.forSource(scm, version);
+        if (circuit == null) {
+            return doRead(listener, context);
+        }
+        try (var permit = circuit.acquire(listener)) {
+            String content;
+            try {
+                content = doRead(listener, context);
+            } catch (Exception x) {
+                if (!(x instanceof InterruptedIOException || x instanceof InterruptedException) && SCMCircuitBreaker.countsAgainstRepository(x)) {
+                    permit.failure(listener);
+                }
+                throw x;
+            }
+            permit.success(listener);
+            return content;
+        }
+    }
+
+    private String doRead(TaskListener listener, Item context) throws Exception {
+        var fetch = new FlightRecorderEvents.ReadScmFileFetch();
+        fetch.begin();
+        SCMRevision rev;
+        try {
+            rev = scm.fetch(version, listener, context);
+        } catch (Exception x) {
+            fetch.failed(x);
+            throw x;
+        } finally {
+            fetch.commit(context, scm, version, path);
+        }
+        if (rev == null) {
+            throw new AbortException("No such revision");
+        }
+        var open = new FlightRecorderEvents.ReadScmFileOpen();
+        open.begin();
+        SCMFileSystem fs;
+        try {
+            fs = SCMFileSystem.of(scm, rev.getHead(), rev);
+        } catch (Exception x) {
+            open.failed(x);
+            throw x;
+        } finally {
+            open.commit(context, scm, version, path);
+        }
+        if (fs == null) {
+            throw new AbortException("Unsupported SCM");
+        }
+        var read = new FlightRecorderEvents.ReadScmFileRead();
+        read.begin();
+        byte[] content;
+        try {
+            content = fs.child(path).contentAsBytes();
+            read.bytes = content.length;
+        } catch (Exception x) {
+            read.failed(x);
+            throw x;
+        } finally {
+            read.commit(context, scm, version, path);
+        }
+        return new String(content, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Determines the {@link SCM#getKey} of the SCM a source would use for a given version.
+     * @return null if the source cannot build an SCM for a bare head
+     */
+    static @CheckForNull String scmKey(SCMSource source, String version) {
+        try {
+            return source.build(new SCMHead(version)).getKey();
+        } catch (RuntimeException x) {
+            LOGGER.log(Level.FINE, "could not determine SCM of " + source, x);
+            return null;
+        }
+    }
+
     @Override
     public StepExecution start(StepContext context) throws Exception {
         return new Execution(this, context);
@@ -79,15 +172,7 @@ public final class ReadScmFileStep extends Step {
         }
 
         @Override protected String run() throws Exception {
-            var rev = step.scm.fetch(step.version, getContext().get(TaskListener.class), getContext().get(Run.class).getParent());
-            if (rev == null) {
-                throw new AbortException("No such revision");
-            }
-            var fs = SCMFileSystem.of(step.scm, rev.getHead(), rev);
-            if (fs == null) {
-                throw new AbortException("Unsupported SCM");
-            }
-            return fs.child(step.path).contentAsString();
+            return step.read(getContext().get(TaskListener.class), getContext().get(Run.class).getParent());
         }
 
     }
@@ -0,0 +1,409 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import hudson.AbortException;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.Util;
+import hudson.model.AdministrativeMonitor;
+import hudson.model.TaskListener;
+import hudson.remoting.ChannelClosedException;
+import hudson.remoting.RequestAbortedException;
+import hudson.scm.SCM;
+import java.nio.file.FileSystemException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import jenkins.scm.api.SCMSource;
+import jenkins.util.SystemProperties;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
+
+/**
+ * Stops sending checkouts and file reads to SCM repositories which keep failing.
+ * Outcomes are tracked per repository (host and path) over a window of recent operations,
+ * so that one missing or inaccessible repository does not block others on the same host.
+ * Once too many of them failed, the circuit for that repository opens: further operations fail immediately
+ * (or wait, if so configured) until a cool-down has passed, after which a single operation is let through as a probe.
+ * If the probe succeeds the circuit closes again, otherwise it stays open for another cool-down.
+ * Disabled unless {@code org.jenkinsci.plugins.workflow.steps.scm.SCMCircuitBreaker.enabled} is set.
+ */
+@Extension
+public final class SCMCircuitBreaker extends AdministrativeMonitor {
+
+    private static final Logger LOGGER = Logger.getLogger(SCMCircuitBreaker.class.getName());
+
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable")
+    @Restricted(NoExternalUse.class)
+    public static boolean ENABLED = SystemProperties.getBoolean(SCMCircuitBreaker.class.getName() + ".enabled");
+
+    /** Number of recent operations per repository considered. */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable")
+    @Restricted(NoExternalUse.class)
+    public static int WINDOW_SIZE = SystemProperties.getInteger(SCMCircuitBreaker.class.getName() + ".windowSize", 20);
+
+    /** Minimum number of recent operations before the circuit may open at all. */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable")
+    @Restricted(NoExternalUse.class)
+    public static int MINIMUM_CALLS = SystemProperties.getInteger(SCMCircuitBreaker.class.getName() + ".minimumCalls", 5);
+
+    /** Percentage of failed recent operations at which the circuit opens. */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable")
+    @Restricted(NoExternalUse.class)
+    public static int FAILURE_RATE_THRESHOLD = SystemProperties.getInteger(SCMCircuitBreaker.class.getName() + ".failureRateThreshold", 50);
+
+    /** Seconds an open circuit waits before letting a probe through. */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable")
+    @Restricted(NoExternalUse.class)
+    public static long OPEN_DURATION = SystemProperties.getLong(SCMCircuitBreaker.class.getName() + ".openDuration", 60L);
+
+    /** Whether operations against an open circuit wait for it to close rather than failing immediately. */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable")
+    @Restricted(NoExternalUse.class)
+    public static boolean WAIT_WHILE_OPEN = SystemProperties.getBoolean(SCMCircuitBreaker.class.getName() + ".waitWhileOpen");
+
+    private static final Pattern URL = Pattern.compile("://(?:[^/@]*@)?([^/:?#,\\s]+)(?::\\d+)?(/[^?#,\\s]*)?");
+    private static final Pattern SCP = Pattern.compile("(?:^|\\s)[\\w.-]+@([\\w.-]+):([^,\\s]*)");
+
+    private final ConcurrentMap<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    static SCMCircuitBreaker get() {
+        return ExtensionList.lookupSingleton(SCMCircuitBreaker.class);
+    }
+
+    /**
+     * Finds the circuit for the repository an SCM talks to.
+     * @return null if the breaker is disabled
+     */
+    static @CheckForNull Circuit forSCM(@NonNull SCM scm) {
+        return ENABLED ? get().circuit(repository(scm.getKey())) : null;
+    }
+
+    /**
+     * Finds the circuit for the repository an SCM source talks to.
+     * @return null if the breaker is disabled, or the repository cannot be determined
+     */
+    static @CheckForNull Circuit forSource(@NonNull SCMSource source, @NonNull String version) {
+        if (!ENABLED) {
+            return null;
+        }
+        String key = ReadScmFileStep.scmKey(source, version);
+        return key != null ? get().circuit(repository(key)) : null;
+    }
+
+    /**
+     * Guesses host and path of the repository from an {@link SCM#getKey}, which typically includes the repository URL.
+     * Credentials, ports, query strings and anything after the URL are dropped.
+     * Falls back to the whole key.
+     */
+    static @NonNull String repository(@NonNull String key) {
+        Matcher m = URL.matcher(key);
+        if (m.find()) {
+            return m.group(1) + Util.fixNull(m.group(2));
+        }
+        m = SCP.matcher(key);
+        if (m.find()) {
+            String path = m.group(2);
+            return m.group(1) + (path.startsWith("/") ? path : "/" + path);
+        }
+        return key;
+    }
+
+    /**
+     * Whether a failed operation plausibly says something about the repository.
+     * Configuration errors reported as {@link AbortException}, a lost agent connection and local file system errors
+     * (including a full disk) do not count; other failures on the agent cannot be told apart and do.
+     */
+    static boolean countsAgainstRepository(@NonNull Throwable x) {
+        if (x instanceof AbortException) {
+            return false;
+        }
+        for (Throwable t = x; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof ChannelClosedException || t instanceof RequestAbortedException || t instanceof FileSystemException) {
+                return false;
+            }
+            String message = t.getMessage();
+            if (message != null && message.contains("No space left on device")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Circuit circuit(String repository) {
+        return circuits.computeIfAbsent(repository, Circuit::new);
+    }
+
+    @Override public String getDisplayName() {
+        return "Failing SCM repositories";
+    }
+
+    @Override public boolean isActivated() {
+        return ENABLED && circuits.values().stream().anyMatch(Circuit::isOpen);
+    }
+
+    @Restricted(NoExternalUse.class)
+    public List<Circuit> getOpenCircuits() {
+        return circuits.values().stream().filter(Circuit::isOpen).sorted((a, b) -> a.repository.compareTo(b.repository)).toList();
+    }
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Breaker state for one repository.
+     * Callers {@link #acquire} a {@link Permit} before each operation and then report {@link Permit#success} or {@link Permit#failure} on it;
+     * closing a permit without either (for outcomes which say nothing about the repository, like interruptions and configuration errors,
+     * or anything unexpected) releases it without affecting the circuit.
+     * Outcomes reported with a permit obtained before the circuit last opened or closed are ignored,
+     * and while half open only the probe's outcome counts.
+     */
+    public static final class Circuit {
+
+        private final String repository;
+        private final LongSupplier clock;
+        private final boolean[] failed = new boolean[Math.max(1, WINDOW_SIZE)];
+        private int calls;
+        private int next;
+        private int failures;
+        private State state = State.CLOSED;
+        /** Incremented whenever the circuit opens or closes, to recognize stale permits. */
+        private int generation;
+        private long openUntil;
+        private @CheckForNull Permit probe;
+
+        Circuit(String repository) {
+            this(repository, System::nanoTime);
+        }
+
+        Circuit(String repository, LongSupplier clock) {
+            this.repository = repository;
+            this.clock = clock;
+        }
+
+        @Restricted(NoExternalUse.class)
+        public String getRepository() {
+            return repository;
+        }
+
+        @Restricted(NoExternalUse.class)
+        public synchronized int getFailures() {
+            return failures;
+        }
+
+        @Restricted(NoExternalUse.class)
+        public synchronized int getCalls() {
+            return calls;
+        }
+
+        @Restricted(NoExternalUse.class)
+        public synchronized String getRetryIn() {
+            return Util.getTimeSpanString(Math.max(0, TimeUnit.NANOSECONDS.toMillis(openUntil - clock.getAsLong())));
+        }
+
+        synchronized boolean isOpen() {
+            return state != State.CLOSED;
+        }
+
+        /**
+         * Waits for permission to contact the repository, for as long as it takes.
+         * @return a permit to report the outcome with
+         * @throws AbortException if the circuit is open and {@link #WAIT_WHILE_OPEN} is not set
+         */
+        @NonNull Permit acquire(TaskListener listener) throws AbortException, InterruptedException {
+            return Objects.requireNonNull(acquire(listener, 0));
+        }
+
+        /**
+         * Waits for permission to contact the repository.
+         * @param deadline when to give up waiting, in terms of {@link System#nanoTime}, or zero to wait indefinitely
+         * @return a permit to report the outcome with, or null if the deadline passed first
+         * @throws AbortException if the circuit is open and {@link #WAIT_WHILE_OPEN} is not set
+         */
+        synchronized @CheckForNull Permit acquire(TaskListener listener, long deadline) throws AbortException, InterruptedException {
+            boolean announced = false;
+            while (true) {
+                if (state == State.CLOSED) {
+                    return new Permit(generation);
+                }
+                long now = clock.getAsLong();
+                long remaining = openUntil - now;
+                if (state == State.OPEN && remaining <= 0) {
+                    state = State.HALF_OPEN;
+                    probe = null;
+                }
+                if (state == State.HALF_OPEN && probe == null) {
+                    probe = new Permit(generation);
+                    listener.getLogger().println("Probing whether SCM repository " + repository + " has recovered");
+                    return probe;
+                }
+                if (!WAIT_WHILE_OPEN) {
+                    throw new AbortException("Not contacting SCM repository " + repository + " since " + failures + " of the last " + calls
+                        + " operations against it failed; retrying in " + getRetryIn());
+                }
+                long timeLeft = deadline != 0 ? deadline - now : Long.MAX_VALUE;
+                if (timeLeft <= 0) {
+                    return null;
+                }
+                if (!announced) {
+                    listener.getLogger().println("Waiting for SCM repository " + repository + " to recover; retrying in " + getRetryIn());
+                    announced = true;
+                }
+                if (state == State.OPEN) {
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.min(remaining, timeLeft));
+                } else if (deadline != 0) {
+                    TimeUnit.NANOSECONDS.timedWait(this, timeLeft); // for the probe to finish
+                } else {
+                    wait(); // for the probe to finish
+                }
+            }
+        }
+
+        private synchronized void success(Permit permit, TaskListener listener) {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (permit == probe) {
+                    state = State.CLOSED;
+                    generation++;
+                    probe = null;
+                    calls = next = failures = 0;
+                    listener.getLogger().println("SCM repository " + repository + " has recovered");
+                    LOGGER.info(() -> "SCM repository " + repository + " has recovered");
+                    notifyAll();
+                }
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        }
+
+        private synchronized void failure(Permit permit, TaskListener listener) {
+            if (permit.generation != generation) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (permit == probe) {
+                    open(listener);
+                }
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (calls >= MINIMUM_CALLS && failures * 100 >= FAILURE_RATE_THRESHOLD * calls) {
+                    open(listener);
+                }
+            }
+        }
+
+        private synchronized void release(Permit permit) {
+            if (permit == probe) {
+                probe = null;
+                notifyAll();
+            }
+        }
+
+        private void record(boolean failure) {
+            if (calls == failed.length) {
+                if (failed[next]) {
+                    failures--;
+                }
+            } else {
+                calls++;
+            }
+            failed[next] = failure;
+            if (failure) {
+                failures++;
+            }
+            next = (next + 1) % failed.length;
+        }
+
+        private void open(TaskListener listener) {
+            state = State.OPEN;
+            generation++;
+            probe = null;
+            openUntil = clock.getAsLong() + TimeUnit.SECONDS.toNanos(OPEN_DURATION);
+            String message = "SCM repository " + repository + " is failing (" + failures + " of the last " + calls + " operations); not contacting it for " + getRetryIn();
+            listener.error(message);
+            LOGGER.warning(message);
+            notifyAll();
+        }
+
+        /**
+         * Permission to run one operation, obtained from {@link #acquire}.
+         * Only the first outcome reported counts.
+         */
+        final class Permit implements AutoCloseable {
+
+            private final int generation;
+            private boolean settled;
+
+            private Permit(int generation) {
+                this.generation = generation;
+            }
+
+            void success(TaskListener listener) {
+                if (settle()) {
+                    Circuit.this.success(this, listener);
+                }
+            }
+
+            void failure(TaskListener listener) {
+                if (settle()) {
+                    Circuit.this.failure(this, listener);
+                }
+            }
+
+            /**
+             * Releases the permit without an outcome, unless one was reported already.
+             */
+            @Override public void close() {
+                if (settle()) {
+                    Circuit.this.release(this);
+                }
+            }
+
+            private boolean settle() {
+                if (settled) {
+                    return false;
+                }
+                settled = true;
+                return true;
+            }
+
+        }
+
+    }
+
+}
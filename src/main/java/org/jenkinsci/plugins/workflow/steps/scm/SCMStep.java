@@ -29,28 +29,43 @@ import hudson.AbortException;
 import hudson.FilePath;
 import hudson.Functions;
 import hudson.Launcher;
+import hudson.Util;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.model.listeners.SCMListener;
 import hudson.scm.SCM;
 import hudson.scm.SCMRevisionState;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import jenkins.model.Jenkins;
+import jenkins.scm.api.SCMFileSystem;
+import jenkins.scm.api.SCMRevision;
+import jenkins.util.SystemProperties;
+import jenkins.util.Timer;
 import org.jenkinsci.plugins.workflow.steps.Step;
 import org.jenkinsci.plugins.workflow.steps.StepContext;
 import org.jenkinsci.plugins.workflow.steps.StepDescriptor;
 import org.jenkinsci.plugins.workflow.steps.StepExecution;
 import org.jenkinsci.plugins.workflow.steps.SynchronousNonBlockingStepExecution;
+import org.kohsuke.accmod.Restricted;
+import org.kohsuke.accmod.restrictions.NoExternalUse;
 import org.kohsuke.stapler.DataBoundSetter;
 
 /**
@@ -60,8 +75,32 @@ public abstract class SCMStep extends Step {
 
     private static final Logger LOGGER = Logger.getLogger(SCMStep.class.getName());
 
+    /**
+     * Maximum duration of a single {@link SCM#checkout} attempt, in seconds, or zero for no limit.
+     * An attempt which exceeds it is interrupted and then retried like any other failed attempt.
+     */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable")
+    @Restricted(NoExternalUse.class)
+    public static long CHECKOUT_ATTEMPT_TIMEOUT = SystemProperties.getLong(SCMStep.class.getName() + ".checkoutAttemptTimeout", 0L);
+
+    /**
+     * Maximum duration of all {@link SCM#checkout} attempts together, including waits between retries, in seconds, or zero for no limit.
+     */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable")
+    @Restricted(NoExternalUse.class)
+    public static long CHECKOUT_TIMEOUT = SystemProperties.getLong(SCMStep.class.getName() + ".checkoutTimeout", 0L);
+
+    /**
+     * Seconds to wait before retrying a failed checkout.
+     */
+    @SuppressFBWarnings(value = "MS_SHOULD_BE_FINAL", justification = "tunable")
+    @Restricted(NoExternalUse.class)
+    public static long CHECKOUT_RETRY_DELAY = SystemProperties.getLong(SCMStep.class.getName() + ".checkoutRetryDelay", 10L);
+
     private boolean poll = true;
     private boolean changelog = true;
+    private boolean revisionOnly;
+    private boolean manifest;
 
     public boolean isPoll() {
         return poll;
@@ -79,6 +118,22 @@ public abstract class SCMStep extends Step {
         this.changelog = changelog;
     }
 
+    public boolean isRevisionOnly() {
+        return revisionOnly;
+    }
+
+    @DataBoundSetter public void setRevisionOnly(boolean revisionOnly) {
+        this.revisionOnly = revisionOnly;
+    }
+
+    public boolean isManifest() {
+        return manifest;
+    }
+
+    @DataBoundSetter public void setManifest(boolean manifest) {
+        this.manifest = manifest;
+    }
+
     @Override public StepExecution start(StepContext context) throws Exception {
         return new StepExecutionImpl(this, context);
     }
@@ -88,19 +143,45 @@ public abstract class SCMStep extends Step {
     public static final class StepExecutionImpl extends SynchronousNonBlockingStepExecution<Map<String,String>> {
 
         private transient final SCMStep step;
+        private transient volatile boolean stopped;
 
         StepExecutionImpl(SCMStep step, StepContext context) {
             super(context);
             this.step = step;
         }
 
+        @Override public void stop(@NonNull Throwable cause) throws Exception {
+            // Set before the interrupt is delivered, so checkout can tell an abort from its own attempt timeout.
+            stopped = true;
+            super.stop(cause);
+        }
+
         @Override
         protected Map<String,String> run() throws Exception {
             StepContext ctx = getContext();
             Run<?, ?> run = ctx.get(Run.class);
-            step.checkout(run, ctx.get(FilePath.class), ctx.get(TaskListener.class), ctx.get(Launcher.class));
+            FilePath workspace = ctx.get(FilePath.class);
+            Launcher launcher = ctx.get(Launcher.class);
+            TaskListener listener = ctx.get(TaskListener.class);
+            WorkspaceManifest.Summary manifest = null;
+            if (step.revisionOnly && step.manifest) {
+                throw new AbortException("manifest cannot be combined with revisionOnly, which does not check out any files");
+            }
+            if (step.revisionOnly) {
+                step.resolve(run, workspace, listener, launcher);
+            } else {
+                step.checkout(run, workspace, listener, launcher, () -> stopped);
+                if (step.manifest) {
+                    manifest = WorkspaceManifest.update(workspace, step.createSCM(), listener);
+                }
+            }
             Map<String,String> envVars = new TreeMap<>();
             step.createSCM().buildEnvironment(run, envVars);
+            if (manifest != null) {
+                envVars.put("SCM_MANIFEST", manifest.manifest);
+                envVars.put("SCM_MANIFEST_CHANGES", manifest.changes);
+                envVars.put("SCM_MANIFEST_PREVIOUS", Boolean.toString(manifest.previous));
+            }
             return envVars;
         }
 
@@ -108,15 +189,17 @@ public abstract class SCMStep extends Step {
     }
 
     public final void checkout(Run<?,?> run, FilePath workspace, TaskListener listener, Launcher launcher) throws Exception {
+        checkout(run, workspace, listener, launcher, () -> false);
+    }
+
+    /**
+     * @param stopped whether the caller has been asked to stop, in which case no further attempts are made
+     */
+    final void checkout(Run<?,?> run, FilePath workspace, TaskListener listener, Launcher launcher, BooleanSupplier stopped) throws Exception {
         File changelogFile = null;
         try {
             if (changelog) {
-                if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
-                    changelogFile = Files.createTempFile(run.getRootDir().toPath(), "changelog", ".xml",
-                            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-r--r--"))).toFile();
-                } else {
-                    changelogFile = Files.createTempFile(run.getRootDir().toPath(), "changelog", ".xml").toFile();
-                }
+                changelogFile = createChangelogFile(run);
             }
             Long changelogOriginalModifiedDate = (changelogFile != null) ? changelogFile.lastModified() : null;
             SCM scm = createSCM();
@@ -131,27 +214,97 @@ public abstract class SCMStep extends Step {
                 }
             }
 
+            SCMCircuitBreaker.Circuit circuit = SCMCircuitBreaker.forSCM(scm);
+            long deadline = CHECKOUT_TIMEOUT > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(CHECKOUT_TIMEOUT) : 0;
+            int attempt = 0;
             for (int retryCount = Jenkins.get().getScmCheckoutRetryCount(); retryCount >= 0; retryCount--) {
-                try {
-                    scm.checkout(run, launcher, workspace, listener, changelogFile, baseline);
-                    break;
-                } catch (InterruptedIOException e) {
-                    throw e;
-                } catch (Exception e) {
-                    // We follow the same exception output behavior as jenkinsci/workflow-cps-plugin#147,
-                    // but throw up the original exception if this is the last attempt
-                    if (e instanceof AbortException && e.getMessage() != null) {
-                        listener.error(e.getMessage());
-                    } else {
-                        Functions.printStackTrace(e, listener.error("Checkout failed"));
+                // Closing the permit releases it unless an outcome was reported, whatever gets thrown.
+                try (SCMCircuitBreaker.Circuit.Permit permit = acquire(circuit, listener, deadline)) {
+                    long attemptTimeout = TimeUnit.SECONDS.toNanos(CHECKOUT_ATTEMPT_TIMEOUT);
+                    if (deadline != 0) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            throw checkoutTimedOut();
+                        }
+                        attemptTimeout = attemptTimeout > 0 ? Math.min(attemptTimeout, remaining) : remaining;
+                    }
+                    var event = new FlightRecorderEvents.CheckoutAttempt();
+                    event.attempt = ++attempt;
+                    event.begin();
+                    Exception failure = null;
+                    AttemptTimeout timeout = new AttemptTimeout(attemptTimeout);
+                    try (timeout) {
+                        scm.checkout(run, launcher, workspace, listener, changelogFile, baseline);
+                    } catch (Exception e) {
+                        failure = e;
+                        event.failed(e);
+                    } finally {
+                        event.commit(run, scm);
                     }
-                    if (retryCount == 0) {
-                        listener.error("Maximum checkout retry attempts reached, aborting");// all attempts failed
-                        throw e;
+                    if (timeout.hasFired()) {
+                        // Our own interrupt may still be pending if the SCM did not observe it.
+                        // This may also swallow an abort racing with it, which is why stopped is checked next.
+                        Thread.interrupted();
                     }
+                    if (stopped.getAsBoolean()) {
+                        throw failure instanceof InterruptedException ? failure : new InterruptedException("Checkout aborted");
+                    }
+                    if (failure == null) {
+                        if (permit != null) {
+                            permit.success(listener);
+                        }
+                        break;
+                    }
+                    if (timeout.hasFired()) {
+                        // Whatever the SCM made of our interrupt (InterruptedException, or wrapped in some IOException), report it as a timeout.
+                        if (permit != null) {
+                            permit.failure(listener);
+                        }
+                        String message = "Checkout attempt timed out after " + Util.getTimeSpanString(TimeUnit.NANOSECONDS.toMillis(attemptTimeout));
+                        listener.error(message);
+                        if (retryCount == 0) {
+                            listener.error("Maximum checkout retry attempts reached, aborting");
+                            throw new AbortException(message);
+                        }
+                    } else if (failure instanceof InterruptedException || failure instanceof InterruptedIOException) {
+                        throw failure;
+                    } else {
+                        if (permit != null && SCMCircuitBreaker.countsAgainstRepository(failure)) {
+                            permit.failure(listener);
+                        }
+                        // We follow the same exception output behavior as jenkinsci/workflow-cps-plugin#147,
+                        // but throw up the original exception if this is the last attempt
+                        if (failure instanceof AbortException && failure.getMessage() != null) {
+                            listener.error(failure.getMessage());
+                        } else {
+                            Functions.printStackTrace(failure, listener.error("Checkout failed"));
+                        }
+                        if (retryCount == 0) {
+                            listener.error("Maximum checkout retry attempts reached, aborting");// all attempts failed
+                            throw failure;
+                        }
+                    }
+                }
+                if (changelogFile != null) {
+                    // The failed attempt may have left a partial changelog behind.
+                    Files.deleteIfExists(changelogFile.toPath());
+                    changelogFile = createChangelogFile(run);
+                    changelogOriginalModifiedDate = changelogFile.lastModified();
+                }
+                if (deadline != 0 && deadline - System.nanoTime() < TimeUnit.SECONDS.toNanos(CHECKOUT_RETRY_DELAY)) {
+                    throw checkoutTimedOut();
+                }
+                listener.getLogger().println("Retrying after " + CHECKOUT_RETRY_DELAY + " seconds");
+                var wait = new FlightRecorderEvents.CheckoutRetryWait();
+                wait.begin();
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(CHECKOUT_RETRY_DELAY));
+                } catch (InterruptedException x) {
+                    wait.failed(x);
+                    throw x;
+                } finally {
+                    wait.commit(run, scm);
                 }
-                listener.getLogger().println("Retrying after 10 seconds");
-                Thread.sleep(10000);
             }
 
             if (changelogFile != null && changelogFile.length() == 0
@@ -163,37 +316,195 @@ public abstract class SCMStep extends Step {
                 Files.deleteIfExists(changelogFile.toPath());
                 changelogFile = null;
             }
-            SCMRevisionState pollingBaseline = null;
-            if (poll || changelog) {
-                pollingBaseline = scm.calcRevisionsFromBuild(run, workspace, launcher, listener);
-                if (pollingBaseline != null) {
-                    synchronized (run) {
-                    MultiSCMRevisionState state = run.getAction(MultiSCMRevisionState.class);
-                    if (state == null) {
-                        state = new MultiSCMRevisionState();
-                        run.addAction(state);
+            SCMRevisionState pollingBaseline = recordState(run, scm, workspace, launcher, listener, null);
+            fireOnCheckout(run, scm, workspace, listener, changelogFile, pollingBaseline);
+            scm.postCheckout(run, launcher, workspace, listener);
+        } catch (Exception e) {
+            if (changelogFile != null) {
+                // Might as well delete the file in case it is malformed and some other code tries to look at it (although it should be harmless).
+                Files.deleteIfExists(changelogFile.toPath());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Records the revision the SCM currently points to, as {@link #checkout} would, but without populating a workspace.
+     * The polling baseline and changelog are computed via {@link SCMFileSystem}, so the SCM must support that.
+     * The changelog is computed against the revision recorded by a previous build in this mode, if any.
+     * SCMs which only compute a real polling baseline from a checkout (returning {@link SCMRevisionState#NONE}) are not registered for polling.
+     */
+    public final void resolve(Run<?,?> run, FilePath workspace, TaskListener listener, Launcher launcher) throws Exception {
+        SCM scm = createSCM();
+        File changelogFile = null;
+        try (SCMFileSystem fs = SCMFileSystem.of(run.getParent(), scm)) {
+            if (fs == null) {
+                throw new AbortException(scm.getDescriptor().getDisplayName() + " does not support revisionOnly");
+            }
+            SCMRevision revision = fs.getRevision();
+            if (revision != null) {
+                listener.getLogger().println("Resolved revision " + revision);
+            }
+            if (changelog && revision != null) {
+                SCMRevision previous = null;
+                Run<?,?> prev = run.getPreviousBuild();
+                if (prev != null) {
+                    synchronized (prev) {
+                    MultiSCMRevisionState state = prev.getAction(MultiSCMRevisionState.class);
+                    if (state != null) {
+                        previous = state.getRevision(scm);
                     }
-                    state.add(scm, pollingBaseline);
+                    }
+                }
+                if (previous != null) {
+                    changelogFile = createChangelogFile(run);
+                    boolean changes;
+                    try (OutputStream os = new FileOutputStream(changelogFile)) {
+                        changes = fs.changesSince(previous, os);
+                    } catch (UnsupportedOperationException x) {
+                        listener.getLogger().println("Changelog is not supported without a checkout for " + scm.getDescriptor().getDisplayName());
+                        changes = false;
+                    }
+                    if (!changes) {
+                        Files.deleteIfExists(changelogFile.toPath());
+                        changelogFile = null;
                     }
                 }
             }
-            for (SCMListener l : SCMListener.all()) {
-                try {
-                    l.onCheckout(run, scm, workspace, listener, changelogFile, pollingBaseline);
-                } catch (RuntimeException x) {
-                    LOGGER.log(Level.WARNING, null, x);
+            SCMRevisionState pollingBaseline = recordState(run, scm, workspace, launcher, listener, revision);
+            if (pollingBaseline == SCMRevisionState.NONE) {
+                // e.g. GitSCM, which polls against BuildData recorded during checkout; polling would always see a change, or none.
+                if (poll) {
+                    listener.getLogger().println(scm.getDescriptor().getDisplayName() + " cannot record a polling baseline without a checkout, so this checkout will not be polled");
                 }
+                pollingBaseline = null;
             }
-            scm.postCheckout(run, launcher, workspace, listener);
+            fireOnCheckout(run, scm, workspace, listener, changelogFile, pollingBaseline);
         } catch (Exception e) {
             if (changelogFile != null) {
-                // Might as well delete the file in case it is malformed and some other code tries to look at it (although it should be harmless).
                 Files.deleteIfExists(changelogFile.toPath());
             }
             throw e;
         }
     }
 
+    private @CheckForNull SCMRevisionState recordState(Run<?,?> run, SCM scm, FilePath workspace, Launcher launcher, TaskListener listener, @CheckForNull SCMRevision revision) throws IOException, InterruptedException {
+        SCMRevisionState pollingBaseline = null;
+        if (poll || changelog) {
+            var event = new FlightRecorderEvents.CalcRevisionsFromBuild();
+            event.begin();
+            try {
+                pollingBaseline = scm.calcRevisionsFromBuild(run, workspace, launcher, listener);
+            } catch (Exception x) {
+                event.failed(x);
+                throw x;
+            } finally {
+                event.commit(run, scm);
+            }
+        }
+        if (pollingBaseline != null || revision != null) {
+            synchronized (run) {
+            MultiSCMRevisionState state = run.getAction(MultiSCMRevisionState.class);
+            if (state == null) {
+                state = new MultiSCMRevisionState();
+                run.addAction(state);
+            }
+            if (pollingBaseline != null) {
+                state.add(scm, pollingBaseline);
+            }
+            if (revision != null) {
+                state.addRevision(scm, revision);
+            }
+            }
+        }
+        return pollingBaseline;
+    }
+
+    private static void fireOnCheckout(Run<?,?> run, SCM scm, FilePath workspace, TaskListener listener, @CheckForNull File changelogFile, @CheckForNull SCMRevisionState pollingBaseline) throws Exception {
+        for (SCMListener l : SCMListener.all()) {
+            var event = new FlightRecorderEvents.Listener();
+            event.listener = l.getClass();
+            event.begin();
+            try {
+                l.onCheckout(run, scm, workspace, listener, changelogFile, pollingBaseline);
+            } catch (RuntimeException x) {
+                event.failed(x);
+                LOGGER.log(Level.WARNING, null, x);
+            } catch (Exception x) {
+                event.failed(x);
+                throw x;
+            } finally {
+                event.commit(run, scm);
+            }
+        }
+    }
+
+    /**
+     * Waits for the circuit breaker, if enabled, to let a checkout attempt through.
+     * @return null if the breaker is disabled
+     */
+    private static @CheckForNull SCMCircuitBreaker.Circuit.Permit acquire(@CheckForNull SCMCircuitBreaker.Circuit circuit, TaskListener listener, long deadline) throws AbortException, InterruptedException {
+        if (circuit == null) {
+            return null;
+        }
+        SCMCircuitBreaker.Circuit.Permit permit = circuit.acquire(listener, deadline);
+        if (permit == null) {
+            throw checkoutTimedOut();
+        }
+        return permit;
+    }
+
+    private static AbortException checkoutTimedOut() {
+        return new AbortException("Checkout did not complete within " + Util.getTimeSpanString(TimeUnit.SECONDS.toMillis(CHECKOUT_TIMEOUT)));
+    }
+
+    private static File createChangelogFile(Run<?,?> run) throws IOException {
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return Files.createTempFile(run.getRootDir().toPath(), "changelog", ".xml",
+                    PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-r--r--"))).toFile();
+        } else {
+            return Files.createTempFile(run.getRootDir().toPath(), "changelog", ".xml").toFile();
+        }
+    }
+
+    /**
+     * Interrupts the current thread if a checkout attempt runs for too long.
+     * The interrupt is what makes the SCM (or the remoting call to the agent it is waiting on) give up.
+     */
+    private static final class AttemptTimeout implements AutoCloseable {
+
+        private final Thread thread = Thread.currentThread();
+        private final Future<?> task;
+        private boolean fired;
+        private boolean closed;
+
+        AttemptTimeout(long nanos) {
+            task = nanos > 0 ? Timer.get().schedule(this::fire, nanos, TimeUnit.NANOSECONDS) : null;
+        }
+
+        private synchronized void fire() {
+            if (!closed) {
+                fired = true;
+                thread.interrupt();
+            }
+        }
+
+        synchronized boolean hasFired() {
+            return fired;
+        }
+
+        @Override public void close() {
+            if (task == null) {
+                return;
+            }
+            task.cancel(false);
+            synchronized (this) {
+                closed = true;
+            }
+        }
+
+    }
+
     public static abstract class SCMStepDescriptor extends StepDescriptor {
 
         @Override public Set<? extends Class<?>> getRequiredContext() {
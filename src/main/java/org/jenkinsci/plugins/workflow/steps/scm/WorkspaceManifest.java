@@ -0,0 +1,268 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import hudson.FilePath;
+import hudson.Util;
+import hudson.model.TaskListener;
+import hudson.remoting.VirtualChannel;
+import hudson.scm.SCM;
+import hudson.slaves.WorkspaceList;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Maintains a list of files in a workspace with their sizes and content hashes, and what changed since the last time.
+ * The manifest lives next to the workspace (in its {@code @tmp} directory), one per SCM,
+ * as lines of {@code sha256 TAB size TAB mtime TAB path}.
+ * Files whose size and modification time are unchanged since the previous manifest are not hashed again.
+ * All work happens on the agent; only a {@link Summary} is sent back.
+ */
+final class WorkspaceManifest {
+
+    /** SCM metadata directories, which change on every checkout and are of no interest to consumers. */
+    private static final Set<String> EXCLUDED_DIRECTORIES = Set.of(".git", ".svn", ".hg", "CVS");
+
+    private WorkspaceManifest() {}
+
+    /**
+     * Updates the manifest for a checkout.
+     * @return the summary of changes, also printed to the listener
+     */
+    static Summary update(FilePath workspace, SCM scm, TaskListener listener) throws IOException, InterruptedException {
+        FilePath tmp = WorkspaceList.tempDir(workspace);
+        if (tmp == null) {
+            throw new IOException("No temporary directory available for " + workspace);
+        }
+        String name = "scm-manifest-" + Util.getDigestOf(scm.getKey()).substring(0, 8);
+        Summary summary = workspace.act(new Update(tmp.child(name + ".tsv").getRemote(), tmp.child(name + ".changes").getRemote()));
+        if (summary.previous) {
+            listener.getLogger().printf("Workspace manifest: %d added, %d modified, %d removed, %d unchanged; hashed %d files%n",
+                summary.added, summary.modified, summary.removed, summary.unchanged, summary.hashed);
+        } else {
+            listener.getLogger().printf("Workspace manifest: %d files, no previous manifest%n", summary.added);
+        }
+        return summary;
+    }
+
+    /**
+     * What changed in the workspace.
+     * {@link #manifest} and {@link #changes} are paths on the agent;
+     * the latter lists changed files as lines of {@code A}, {@code M} or {@code D}, a space, and the path.
+     */
+    static final class Summary implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        final String manifest;
+        final String changes;
+        final boolean previous;
+        final int added;
+        final int modified;
+        final int removed;
+        final int unchanged;
+        final int hashed;
+
+        Summary(String manifest, String changes, boolean previous, int added, int modified, int removed, int unchanged, int hashed) {
+            this.manifest = manifest;
+            this.changes = changes;
+            this.previous = previous;
+            this.added = added;
+            this.modified = modified;
+            this.removed = removed;
+            this.unchanged = unchanged;
+            this.hashed = hashed;
+        }
+
+    }
+
+    private record Entry(String path, long size, long mtime, String hash) {}
+
+    private static final class Update extends MasterToSlaveFileCallable<Summary> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String manifest;
+        private final String changes;
+
+        Update(String manifest, String changes) {
+            this.manifest = manifest;
+            this.changes = changes;
+        }
+
+        @Override public Summary invoke(File f, VirtualChannel channel) throws IOException, InterruptedException {
+            Path root = f.toPath();
+            Path manifestFile = Path.of(manifest);
+            Map<String, Entry> previous = read(manifestFile);
+            List<Entry> current = scan(root);
+
+            List<Entry> toHash = new ArrayList<>();
+            Map<String, Entry> result = new TreeMap<>();
+            for (Entry e : current) {
+                Entry old = previous != null ? previous.get(e.path) : null;
+                if (old != null && old.size == e.size && old.mtime == e.mtime) {
+                    result.put(e.path, old);
+                } else {
+                    toHash.add(e);
+                }
+            }
+            int hashed = 0;
+            ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            try {
+                for (Entry e : pool.submit(() -> toHash.parallelStream().map(entry -> hash(root, entry)).filter(Objects::nonNull).toList()).get()) {
+                    result.put(e.path, e);
+                    hashed++;
+                }
+            } catch (ExecutionException x) {
+                if (x.getCause() instanceof UncheckedIOException u) {
+                    throw u.getCause();
+                }
+                throw new IOException(x);
+            } finally {
+                pool.shutdownNow();
+            }
+
+            int added = 0, modified = 0, removed = 0, unchanged = 0;
+            Files.createDirectories(manifestFile.getParent());
+            Path changesFile = Path.of(changes);
+            try (BufferedWriter w = Files.newBufferedWriter(changesFile, StandardCharsets.UTF_8)) {
+                for (Entry e : result.values()) {
+                    Entry old = previous != null ? previous.get(e.path) : null;
+                    if (old == null) {
+                        added++;
+                        w.write("A " + e.path + "\n");
+                    } else if (!old.hash.equals(e.hash)) {
+                        modified++;
+                        w.write("M " + e.path + "\n");
+                    } else {
+                        unchanged++;
+                    }
+                }
+                if (previous != null) {
+                    for (String path : previous.keySet()) {
+                        if (!result.containsKey(path)) {
+                            removed++;
+                            w.write("D " + path + "\n");
+                        }
+                    }
+                }
+            }
+            Path tmp = Files.createTempFile(manifestFile.getParent(), "scm-manifest", ".tmp");
+            try (BufferedWriter w = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (Entry e : result.values()) {
+                    w.write(e.hash + "\t" + e.size + "\t" + e.mtime + "\t" + e.path + "\n");
+                }
+            }
+            Files.move(tmp, manifestFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new Summary(manifest, changes, previous != null, added, modified, removed, unchanged, hashed);
+        }
+
+        private static Map<String, Entry> read(Path manifestFile) throws IOException {
+            Map<String, Entry> entries = new HashMap<>();
+            try (BufferedReader r = Files.newBufferedReader(manifestFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = r.readLine()) != null) {
+                    String[] fields = line.split("\t", 4);
+                    if (fields.length == 4) {
+                        entries.put(fields[3], new Entry(fields[3], Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[0]));
+                    }
+                }
+            } catch (NoSuchFileException x) {
+                return null;
+            } catch (NumberFormatException x) {
+                return null; // corrupt, start over
+            }
+            return entries;
+        }
+
+        private static List<Entry> scan(Path root) throws IOException {
+            List<Entry> entries = new ArrayList<>();
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                    return !dir.equals(root) && EXCLUDED_DIRECTORIES.contains(dir.getFileName().toString()) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+                }
+                @Override public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                    String path = root.relativize(file).toString().replace(File.separatorChar, '/');
+                    if (attrs.isRegularFile() && path.indexOf('\n') == -1) {
+                        entries.add(new Entry(path, attrs.size(), attrs.lastModifiedTime().toMillis(), null));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            return entries;
+        }
+
+        /**
+         * @return the entry with its hash, or null if the file was deleted since the scan, in which case it counts as removed
+         */
+        private static @CheckForNull Entry hash(Path root, Entry e) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                byte[] buffer = new byte[65536];
+                try (InputStream is = Files.newInputStream(root.resolve(e.path))) {
+                    int n;
+                    while ((n = is.read(buffer)) != -1) {
+                        digest.update(buffer, 0, n);
+                    }
+                }
+                return new Entry(e.path, e.size, e.mtime, Util.toHexString(digest.digest()));
+            } catch (NoSuchFileException x) {
+                return null;
+            } catch (IOException x) {
+                throw new UncheckedIOException(x);
+            } catch (NoSuchAlgorithmException x) {
+                throw new AssertionError(x);
+            }
+        }
+
+    }
+
+}
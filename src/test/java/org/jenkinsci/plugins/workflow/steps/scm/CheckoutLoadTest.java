@@ -0,0 +1,171 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import hudson.model.Result;
+import hudson.model.queue.QueueTaskFuture;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import jenkins.scm.impl.mock.MockLatency;
+import jenkins.scm.impl.mock.MockSCMController;
+import org.jenkinsci.plugins.workflow.cps.CpsFlowDefinition;
+import org.jenkinsci.plugins.workflow.job.WorkflowJob;
+import org.jenkinsci.plugins.workflow.job.WorkflowRun;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+/**
+ * Runs many Pipelines concurrently doing {@code checkout} and {@code readScmFile} against a {@link MockSCMController},
+ * and prints throughput, step latency, retry, thread and heap figures.
+ * Skipped unless {@code loadTest.builds} is set, for example:
+ * <pre>
+ * mvn test -Dtest=CheckoutLoadTest -DloadTest.builds=500 -DloadTest.latencyMillis=200 -DloadTest.failureRate=0.05 -DloadTest.retries=2
+ * </pre>
+ * Everything runs in-process, so no network access is needed.
+ */
+@WithJenkins
+@EnabledIfSystemProperty(named = "loadTest.builds", matches = "\\d+")
+class CheckoutLoadTest {
+
+    private static final int BUILDS = Integer.getInteger("loadTest.builds", 0);
+    private static final long LATENCY_MILLIS = Long.getLong("loadTest.latencyMillis", 50);
+    private static final double FAILURE_RATE = Double.parseDouble(System.getProperty("loadTest.failureRate", "0"));
+    private static final int RETRIES = Integer.getInteger("loadTest.retries", 0);
+
+    private static final Pattern TIMING = Pattern.compile("(checkout|readScmFile) took (\\d+)ms");
+    private static final Pattern RETRY = Pattern.compile("^Retrying after", Pattern.MULTILINE);
+
+    @Test void concurrentCheckouts(JenkinsRule r) throws Exception {
+        r.jenkins.setNumExecutors(BUILDS);
+        r.jenkins.setScmCheckoutRetryCount(RETRIES);
+        try (MockSCMController c = MockSCMController.create().withLatency(MockLatency.fixed(LATENCY_MILLIS, TimeUnit.MILLISECONDS))) {
+            c.createRepository("repo");
+            c.addFile("repo", "master", "initial", "config.txt", "trunk".getBytes(StandardCharsets.UTF_8));
+            if (FAILURE_RATE > 0) {
+                c.addFault((repository, branchOrCR, revision, actions) -> {
+                    if (ThreadLocalRandom.current().nextDouble() < FAILURE_RATE) {
+                        throw new IOException("Injected failure");
+                    }
+                });
+            }
+            String script =
+                "import jenkins.scm.api.SCMHead\n" +
+                "import jenkins.scm.impl.mock.MockSCMDiscoverBranches\n" +
+                "import jenkins.scm.impl.mock.MockSCMSource\n" +
+                "def source = new MockSCMSource('" + c.getId() + "', 'repo', [new MockSCMDiscoverBranches()])\n" +
+                "node {\n" +
+                "  long checkoutStart = System.nanoTime()\n" +
+                "  checkout(source.build(new SCMHead('master')))\n" +
+                "  echo \"checkout took ${(System.nanoTime() - checkoutStart).intdiv(1000000)}ms\"\n" +
+                "}\n" +
+                "long readStart = System.nanoTime()\n" +
+                "readScmFile scm: source, version: 'master', path: 'config.txt'\n" +
+                "echo \"readScmFile took ${(System.nanoTime() - readStart).intdiv(1000000)}ms\"\n";
+            List<WorkflowJob> jobs = new ArrayList<>();
+            for (int i = 0; i < BUILDS; i++) {
+                WorkflowJob p = r.jenkins.createProject(WorkflowJob.class, "p" + i);
+                p.setDefinition(new CpsFlowDefinition(script, false));
+                jobs.add(p);
+            }
+
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            int threadsBefore = threads.getThreadCount();
+            threads.resetPeakThreadCount();
+
+            long start = System.nanoTime();
+            List<QueueTaskFuture<WorkflowRun>> futures = new ArrayList<>();
+            for (WorkflowJob p : jobs) {
+                futures.add(p.scheduleBuild2(0));
+            }
+            List<WorkflowRun> builds = new ArrayList<>();
+            for (QueueTaskFuture<WorkflowRun> f : futures) {
+                builds.add(f.get());
+            }
+            long elapsed = System.nanoTime() - start;
+
+            int peakThreads = threads.getPeakThreadCount();
+            System.gc();
+            long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+            List<Long> checkoutMillis = new ArrayList<>();
+            List<Long> readMillis = new ArrayList<>();
+            int retries = 0;
+            int failures = 0;
+            for (WorkflowRun b : builds) {
+                String log = JenkinsRule.getLog(b);
+                Matcher m = TIMING.matcher(log);
+                while (m.find()) {
+                    (m.group(1).equals("checkout") ? checkoutMillis : readMillis).add(Long.parseLong(m.group(2)));
+                }
+                Matcher retry = RETRY.matcher(log);
+                while (retry.find()) {
+                    retries++;
+                }
+                if (b.getResult() != Result.SUCCESS) {
+                    failures++;
+                }
+            }
+
+            System.out.printf("builds: %d (%d failed) in %.1fs, %.2f builds/s%n",
+                BUILDS, failures, elapsed / 1e9, BUILDS / (elapsed / 1e9));
+            report("checkout", checkoutMillis);
+            report("readScmFile", readMillis);
+            System.out.printf("checkout retries: %d%n", retries);
+            System.out.printf("threads: %d before, %d peak%n", threadsBefore, peakThreads);
+            System.out.printf("heap: %dMiB before, %dMiB after, %+dMiB%n",
+                heapBefore >> 20, heapAfter >> 20, (heapAfter - heapBefore) >> 20);
+        }
+    }
+
+    private static void report(String step, List<Long> millis) {
+        if (millis.isEmpty()) {
+            System.out.printf("%s: no samples%n", step);
+            return;
+        }
+        Collections.sort(millis);
+        System.out.printf("%s: %d samples, p50 %dms, p95 %dms, p99 %dms, max %dms%n",
+            step, millis.size(), percentile(millis, 50), percentile(millis, 95), percentile(millis, 99), millis.get(millis.size() - 1));
+    }
+
+    private static long percentile(List<Long> sorted, int p) {
+        return sorted.get(Math.max(0, (int) Math.ceil(p / 100.0 * sorted.size()) - 1));
+    }
+
+}
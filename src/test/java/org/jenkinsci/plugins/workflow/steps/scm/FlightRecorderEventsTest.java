@@ -0,0 +1,149 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.scm.NullSCM;
+import hudson.scm.SCMRevisionState;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.impl.mock.MockSCMController;
+import jenkins.scm.impl.mock.MockSCMDiscoverBranches;
+import jenkins.scm.impl.mock.MockSCMSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+@WithJenkins
+class FlightRecorderEventsTest {
+
+    private static final String PREFIX = "org.jenkinsci.plugins.workflow.steps.scm.";
+
+    @TempDir Path tmp;
+
+    @Test void checkout(JenkinsRule r) throws Exception {
+        FreeStyleProject p = r.createFreeStyleProject("p");
+        FreeStyleBuild b = r.buildAndAssertSuccess(p);
+        NullSCM scm = new NullSCM();
+        List<RecordedEvent> events = record(() -> new GenericSCMStep(scm).checkout(b, new FilePath(tmp.resolve("ws").toFile()), TaskListener.NULL, r.jenkins.createLauncher(TaskListener.NULL)),
+            "CheckoutAttempt", "CalcRevisionsFromBuild");
+        RecordedEvent attempt = find(events, "CheckoutAttempt");
+        assertEquals("p", attempt.getString("job"));
+        assertEquals(b.getNumber(), attempt.getInt("build"));
+        assertEquals(scm.getKey(), attempt.getString("scmKey"));
+        assertEquals(1, attempt.getInt("attempt"));
+        assertNull(attempt.getString("failure"));
+        RecordedEvent calc = find(events, "CalcRevisionsFromBuild");
+        assertEquals("p", calc.getString("job"));
+        assertEquals(scm.getKey(), calc.getString("scmKey"));
+    }
+
+    @Test void failedCheckout(JenkinsRule r) throws Exception {
+        FreeStyleProject p = r.createFreeStyleProject("p");
+        FreeStyleBuild b = r.buildAndAssertSuccess(p);
+        List<RecordedEvent> events = record(() -> assertThrows(IOException.class, () -> new GenericSCMStep(new BrokenBaselineSCM()).checkout(b, new FilePath(tmp.resolve("ws").toFile()), TaskListener.NULL, r.jenkins.createLauncher(TaskListener.NULL))),
+            "CalcRevisionsFromBuild");
+        assertEquals(new IOException("no baseline").toString(), find(events, "CalcRevisionsFromBuild").getString("failure"));
+    }
+
+    @Test void readScmFile(JenkinsRule r) throws Exception {
+        try (MockSCMController controller = MockSCMController.create()) {
+            controller.createRepository("repo");
+            controller.addFile("repo", "master", "initial", "config.txt", "content".getBytes(StandardCharsets.UTF_8));
+            FreeStyleProject p = r.createFreeStyleProject("p");
+            MockSCMSource source = new MockSCMSource(controller, "repo", new MockSCMDiscoverBranches());
+            ReadScmFileStep step = new ReadScmFileStep(source, "master", "config.txt");
+            List<RecordedEvent> events = record(() -> step.read(TaskListener.NULL, p), "ReadScmFileFetch", "ReadScmFileOpen", "ReadScmFileRead");
+            for (String name : List.of("ReadScmFileFetch", "ReadScmFileOpen", "ReadScmFileRead")) {
+                RecordedEvent event = find(events, name);
+                assertEquals("p", event.getString("job"), name);
+                assertEquals(MockSCMSource.class.getName(), event.getClass("source").getName(), name);
+                assertEquals(source.getId(), event.getString("sourceId"), name);
+                assertEquals(source.build(new SCMHead("master")).getKey(), event.getString("scmKey"), name);
+                assertEquals("master", event.getString("version"), name);
+                assertEquals("config.txt", event.getString("path"), name);
+            }
+            assertEquals(7, find(events, "ReadScmFileRead").getLong("bytes"));
+            controller.addFault((repository, branchOrCacheId, revision, actions) -> {
+                throw new IOException("unreachable");
+            });
+            events = record(() -> assertThrows(IOException.class, () -> step.read(TaskListener.NULL, p)), "ReadScmFileFetch");
+            String failure = find(events, "ReadScmFileFetch").getString("failure");
+            assertTrue(failure != null && failure.contains("unreachable"), failure);
+        }
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private List<RecordedEvent> record(Action action, String... names) throws Exception {
+        Path dump = Files.createTempFile(tmp, "recording", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : names) {
+                recording.enable(PREFIX + name);
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+        }
+        return RecordingFile.readAllEvents(dump);
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        RecordedEvent found = events.stream().filter(e -> e.getEventType().getName().equals(PREFIX + name)).findFirst().orElse(null);
+        assertNotNull(found, () -> name + " in " + events);
+        return found;
+    }
+
+    private static final class BrokenBaselineSCM extends NullSCM {
+
+        @Override public SCMRevisionState calcRevisionsFromBuild(Run<?,?> build, FilePath workspace, Launcher launcher, TaskListener listener) throws IOException {
+            throw new IOException("no baseline");
+        }
+
+    }
+
+}
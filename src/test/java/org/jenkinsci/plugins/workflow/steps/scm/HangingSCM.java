@@ -0,0 +1,43 @@
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.Run;
+import hudson.model.TaskListener;
+import hudson.scm.SCMRevisionState;
+import org.jvnet.hudson.test.FakeChangeLogSCM;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("unused")
+public class HangingSCM extends FakeChangeLogSCM {
+    private int hangCount;
+    private boolean wrapInterrupt;
+
+    public HangingSCM(int hangCount) {
+        this.hangCount = hangCount;
+    }
+
+    /** Report an interrupt the way some SCMs do, as a plain {@link IOException}. */
+    public void setWrapInterrupt(boolean wrapInterrupt) {
+        this.wrapInterrupt = wrapInterrupt;
+    }
+
+    @Override
+    public void checkout(Run<?, ?> build, Launcher launcher, FilePath remoteDir, TaskListener listener, File changeLogFile, SCMRevisionState baseline) throws IOException, InterruptedException {
+        if (hangCount-- > 0) {
+            listener.getLogger().println("Checkout hanging");
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(5));
+            } catch (InterruptedException x) {
+                if (wrapInterrupt) {
+                    throw new IOException("interrupted", x);
+                }
+                throw x;
+            }
+        }
+        super.checkout(build, launcher, remoteDir, listener, changeLogFile, baseline);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import hudson.model.Run;
+import hudson.scm.NullSCM;
+import hudson.scm.SCMRevisionState;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+@WithJenkins
+class MultiSCMRevisionStateTest {
+
+    @Test void equalStatesAreShared(JenkinsRule r) {
+        NullSCM scm = new NullSCM();
+        MultiSCMRevisionState first = new MultiSCMRevisionState();
+        first.add(scm, new Revision("abc"));
+        MultiSCMRevisionState second = new MultiSCMRevisionState();
+        second.add(scm, new Revision("abc"));
+        assertSame(first.get(scm), second.get(scm));
+        MultiSCMRevisionState third = new MultiSCMRevisionState();
+        third.add(scm, new Revision("def"));
+        assertNotSame(first.get(scm), third.get(scm));
+        MultiSCMRevisionState loaded = (MultiSCMRevisionState) Run.XSTREAM2.fromXML(Run.XSTREAM2.toXML(first));
+        assertSame(first.get(scm), loaded.get(scm));
+    }
+
+    @Test void statesWithoutEqualsAreNotShared(JenkinsRule r) {
+        NullSCM scm = new NullSCM();
+        MultiSCMRevisionState first = new MultiSCMRevisionState();
+        first.add(scm, new OpaqueRevision("abc"));
+        MultiSCMRevisionState second = new MultiSCMRevisionState();
+        second.add(scm, new OpaqueRevision("abc"));
+        assertNotSame(first.get(scm), second.get(scm));
+    }
+
+    @Test void format(JenkinsRule r) {
+        NullSCM scm = new NullSCM();
+        // Still a plain map, as older versions of this plugin expect to find it.
+        String xml = "<org.jenkinsci.plugins.workflow.steps.scm.MultiSCMRevisionState><revisionStates><entry><string>" + scm.getKey()
+            + "</string><org.jenkinsci.plugins.workflow.steps.scm.MultiSCMRevisionStateTest_-Revision><hash>abc</hash>"
+            + "</org.jenkinsci.plugins.workflow.steps.scm.MultiSCMRevisionStateTest_-Revision></entry></revisionStates>"
+            + "</org.jenkinsci.plugins.workflow.steps.scm.MultiSCMRevisionState>";
+        MultiSCMRevisionState state = new MultiSCMRevisionState();
+        state.add(scm, new Revision("abc"));
+        String written = Run.XSTREAM2.toXML(state);
+        assertTrue(written.replaceAll(">\\s+<", "><").contains("<revisionStates><entry><string>" + scm.getKey() + "</string>"), written);
+        MultiSCMRevisionState loaded = (MultiSCMRevisionState) Run.XSTREAM2.fromXML(xml);
+        assertEquals(new Revision("abc"), loaded.get(scm));
+        assertNull(loaded.getRevision(scm));
+    }
+
+    private static final class Revision extends SCMRevisionState {
+
+        private final String hash;
+
+        Revision(String hash) {
+            this.hash = hash;
+        }
+
+        @Override public boolean equals(Object o) {
+            return o instanceof Revision other && hash.equals(other.hash);
+        }
+
+        @Override public int hashCode() {
+            return Objects.hash(hash);
+        }
+
+        @Override public String toString() {
+            return hash;
+        }
+
+    }
+
+    private static final class OpaqueRevision extends SCMRevisionState {
+
+        private final String hash;
+
+        OpaqueRevision(String hash) {
+            this.hash = hash;
+        }
+
+    }
+
+}
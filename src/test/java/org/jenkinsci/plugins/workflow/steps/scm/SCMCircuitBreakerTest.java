@@ -0,0 +1,208 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2026 CloudBees, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package org.jenkinsci.plugins.workflow.steps.scm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import hudson.AbortException;
+import hudson.FilePath;
+import hudson.Launcher;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import hudson.model.TaskListener;
+import hudson.remoting.Channel;
+import hudson.remoting.ChannelClosedException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import jenkins.scm.api.SCMHead;
+import jenkins.scm.impl.mock.MockSCMController;
+import jenkins.scm.impl.mock.MockSCMDiscoverBranches;
+import jenkins.scm.impl.mock.MockSCMSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+class SCMCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @TempDir Path tmp;
+
+    @AfterEach void reset() {
+        SCMCircuitBreaker.ENABLED = false;
+        SCMCircuitBreaker.WAIT_WHILE_OPEN = false;
+        SCMStep.CHECKOUT_TIMEOUT = 0;
+    }
+
+    @Test void repository() {
+        assertEquals("github.com/jenkinsci/workflow-scm-step-plugin.git", SCMCircuitBreaker.repository("git https://github.com/jenkinsci/workflow-scm-step-plugin.git"));
+        assertEquals("git.example.com/repo.git", SCMCircuitBreaker.repository("git ssh://git@git.example.com:2222/repo.git"));
+        assertEquals("git.example.com/org/repo.git", SCMCircuitBreaker.repository("git git@git.example.com:org/repo.git"));
+        assertEquals("git.example.com/a.git", SCMCircuitBreaker.repository("git https://git.example.com/a.git, https://git.example.com/b.git"));
+        assertEquals("svn.example.com/repo/trunk", SCMCircuitBreaker.repository("svn https://user@svn.example.com/repo/trunk"));
+        assertEquals("hudson.scm.NullSCM", SCMCircuitBreaker.repository("hudson.scm.NullSCM"));
+    }
+
+    @Test void opensAndRecovers() throws Exception {
+        var circuit = new SCMCircuitBreaker.Circuit("example.com/repo", now::get);
+        var stale = circuit.acquire(TaskListener.NULL);
+        var staleToo = circuit.acquire(TaskListener.NULL);
+        for (int i = 0; i < SCMCircuitBreaker.MINIMUM_CALLS - 1; i++) {
+            circuit.acquire(TaskListener.NULL).failure(TaskListener.NULL);
+        }
+        assertFalse(circuit.isOpen());
+        circuit.acquire(TaskListener.NULL).failure(TaskListener.NULL);
+        assertTrue(circuit.isOpen());
+        assertThrows(AbortException.class, () -> circuit.acquire(TaskListener.NULL));
+        coolDown();
+        var probe = circuit.acquire(TaskListener.NULL);
+        assertThrows(AbortException.class, () -> circuit.acquire(TaskListener.NULL), "only one probe at a time");
+        stale.success(TaskListener.NULL);
+        assertTrue(circuit.isOpen(), "an operation started before the circuit opened does not close it");
+        probe.failure(TaskListener.NULL);
+        assertTrue(circuit.isOpen());
+        assertThrows(AbortException.class, () -> circuit.acquire(TaskListener.NULL), "cools down again after a failed probe");
+        coolDown();
+        probe = circuit.acquire(TaskListener.NULL);
+        staleToo.close();
+        assertThrows(AbortException.class, () -> circuit.acquire(TaskListener.NULL), "only the probe may give up probing");
+        probe.success(TaskListener.NULL);
+        assertFalse(circuit.isOpen());
+        assertEquals(0, circuit.getFailures());
+    }
+
+    @Test void releasedProbe() throws Exception {
+        var circuit = new SCMCircuitBreaker.Circuit("example.com/repo", now::get);
+        trip(circuit);
+        coolDown();
+        var first = circuit.acquire(TaskListener.NULL);
+        first.close();
+        var second = circuit.acquire(TaskListener.NULL);
+        first.success(TaskListener.NULL);
+        assertTrue(circuit.isOpen(), "a released probe no longer decides");
+        second.success(TaskListener.NULL);
+        assertFalse(circuit.isOpen());
+    }
+
+    @Test void probeReleasedOnUnexpectedError() throws Exception {
+        var circuit = new SCMCircuitBreaker.Circuit("example.com/repo", now::get);
+        trip(circuit);
+        coolDown();
+        assertThrows(StackOverflowError.class, () -> {
+            try (var probe = circuit.acquire(TaskListener.NULL)) {
+                throw new StackOverflowError();
+            }
+        });
+        circuit.acquire(TaskListener.NULL).success(TaskListener.NULL);
+        assertFalse(circuit.isOpen());
+    }
+
+    @Test void waitUntilDeadline() throws Exception {
+        SCMCircuitBreaker.WAIT_WHILE_OPEN = true;
+        var circuit = new SCMCircuitBreaker.Circuit("example.com/repo", now::get);
+        trip(circuit);
+        // A deadline of zero would mean no deadline.
+        assertNull(circuit.acquire(TaskListener.NULL, now.addAndGet(1)));
+    }
+
+    @Test void countsAgainstRepository() {
+        assertTrue(SCMCircuitBreaker.countsAgainstRepository(new IOException("Connection refused")));
+        assertFalse(SCMCircuitBreaker.countsAgainstRepository(new AbortException("Invalid configuration")));
+        assertFalse(SCMCircuitBreaker.countsAgainstRepository(new IOException("remote call failed", new ChannelClosedException((Channel) null, "channel is already closed", null))));
+        assertFalse(SCMCircuitBreaker.countsAgainstRepository(new AccessDeniedException("/ws/file")));
+        assertFalse(SCMCircuitBreaker.countsAgainstRepository(new RuntimeException("error: unable to write file: No space left on device")));
+    }
+
+    @Test void mostlySuccessfulRepositoryStaysClosed() throws Exception {
+        var circuit = new SCMCircuitBreaker.Circuit("example.com/repo", now::get);
+        for (int i = 0; i < 100; i++) {
+            var permit = circuit.acquire(TaskListener.NULL);
+            if (i % 3 == 0) {
+                permit.failure(TaskListener.NULL);
+            } else {
+                permit.success(TaskListener.NULL);
+            }
+        }
+        assertFalse(circuit.isOpen());
+    }
+
+    @WithJenkins
+    @Test void failingRepository(JenkinsRule r) throws Exception {
+        SCMCircuitBreaker.ENABLED = true;
+        try (MockSCMController controller = MockSCMController.create()) {
+            controller.createRepository("repo");
+            controller.addFile("repo", "master", "initial", "config.txt", "content".getBytes(StandardCharsets.UTF_8));
+            var source = new MockSCMSource(controller, "repo", new MockSCMDiscoverBranches());
+            FreeStyleProject p = r.createFreeStyleProject("p");
+            FreeStyleBuild b = r.buildAndAssertSuccess(p);
+            var read = new ReadScmFileStep(source, "master", "config.txt");
+            var checkout = new GenericSCMStep(source.build(new SCMHead("master")));
+            FilePath workspace = new FilePath(tmp.toFile());
+            Launcher launcher = r.jenkins.createLauncher(TaskListener.NULL);
+            assertEquals("content", read.read(TaskListener.NULL, p));
+            controller.addFault((repository, branchOrCacheId, revision, actions) -> {
+                throw new IOException("unreachable");
+            });
+            // After one success, MINIMUM_CALLS - 1 failures reach both the minimum number of calls and the failure rate.
+            for (int i = 0; i < SCMCircuitBreaker.MINIMUM_CALLS - 1; i++) {
+                IOException x = assertThrows(IOException.class, () -> checkout.checkout(b, workspace, TaskListener.NULL, launcher));
+                assertFalse(x instanceof AbortException, x::toString);
+            }
+            assertTrue(SCMCircuitBreaker.get().isActivated());
+            // readScmFile and checkout share the circuit of the repository.
+            AbortException x = assertThrows(AbortException.class, () -> read.read(TaskListener.NULL, p));
+            assertTrue(x.getMessage().startsWith("Not contacting SCM repository"), x::getMessage);
+            assertInstanceOf(AbortException.class, assertThrows(IOException.class, () -> checkout.checkout(b, workspace, TaskListener.NULL, launcher)));
+            // Waiting for the circuit is bounded by the overall checkout timeout.
+            SCMCircuitBreaker.WAIT_WHILE_OPEN = true;
+            SCMStep.CHECKOUT_TIMEOUT = 2;
+            AbortException timedOut = assertThrows(AbortException.class, () -> checkout.checkout(b, workspace, TaskListener.NULL, launcher));
+            assertEquals("Checkout did not complete within 2 sec", timedOut.getMessage());
+        }
+    }
+
+    private static void trip(SCMCircuitBreaker.Circuit circuit) throws Exception {
+        for (int i = 0; i < SCMCircuitBreaker.MINIMUM_CALLS; i++) {
+            circuit.acquire(TaskListener.NULL).failure(TaskListener.NULL);
+        }
+        assertTrue(circuit.isOpen());
+    }
+
+    private void coolDown() {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(SCMCircuitBreaker.OPEN_DURATION));
+    }
+
+}
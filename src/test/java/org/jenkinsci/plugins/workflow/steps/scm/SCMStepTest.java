@@ -27,6 +27,7 @@ package org.jenkinsci.plugins.workflow.steps.scm;
 import hudson.FilePath;
 import hudson.Launcher;
 import hudson.model.Label;
+import hudson.model.Result;
 import hudson.model.Run;
 import hudson.model.TaskListener;
 import hudson.scm.ChangeLogParser;
@@ -44,6 +45,7 @@ import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import jenkins.model.Jenkins;
 
 import jenkins.plugins.git.GitSampleRepoRule;
@@ -247,6 +249,76 @@ class SCMStepTest {
         });
     }
 
+    @Test
+    void revisionOnly() throws Throwable {
+        extension.then(r -> {
+            sampleGitRepo.init();
+            sampleGitRepo.git("checkout", "-b", "feat");
+            WorkflowJob p = r.jenkins.createProject(WorkflowJob.class, "p");
+            p.setDefinition(new CpsFlowDefinition(
+                    "checkout scm: [$class: 'GitSCM', branches: [[name: 'feat']], userRemoteConfigs: [[url: $/" + sampleGitRepo + "/$]]], revisionOnly: true", true));
+            WorkflowRun b0 = r.buildAndAssertStatus(Result.FAILURE, p);
+            r.assertLogContains("Required context class hudson.FilePath is missing", b0);
+            p.setDefinition(new CpsFlowDefinition(
+                    "node {\n" +
+                    "  checkout scm: [$class: 'GitSCM', branches: [[name: 'feat']], userRemoteConfigs: [[url: $/" + sampleGitRepo + "/$]]], revisionOnly: true\n" +
+                    "  echo \"checked out: ${fileExists 'file'}\"\n" +
+                    "}", true));
+            WorkflowRun b1 = r.buildAndAssertSuccess(p);
+            r.assertLogContains("Resolved revision", b1);
+            r.assertLogContains("checked out: false", b1);
+            r.assertLogContains("will not be polled", b1);
+            assertNotNull(b1.getAction(MultiSCMRevisionState.class));
+            sampleGitRepo.write("file", "modified");
+            sampleGitRepo.git("commit", "--all", "--message=second");
+            WorkflowRun b2 = r.buildAndAssertSuccess(p);
+            assertEquals(1, b2.getChangeSets().size());
+            assertFalse(b2.getChangeSets().get(0).isEmptySet());
+            // Not registered for polling, rather than polling against a baseline Git cannot use.
+            assertPolling(p, PollingResult.Change.NONE);
+        });
+    }
+
+    @Test
+    void manifest() throws Throwable {
+        extension.then(r -> {
+            sampleGitRepo.init();
+            WorkflowJob p = r.jenkins.createProject(WorkflowJob.class, "p");
+            p.setDefinition(new CpsFlowDefinition(
+                    "node {\n" +
+                    "  def vars = checkout scm: [$class: 'GitSCM', userRemoteConfigs: [[url: $/" + sampleGitRepo + "/$]]], manifest: true\n" +
+                    "  echo \"previous: ${vars.SCM_MANIFEST_PREVIOUS}\"\n" +
+                    "  echo \"changes: ${readFile(vars.SCM_MANIFEST_CHANGES).trim()}\"\n" +
+                    "}", true));
+            WorkflowRun b1 = r.buildAndAssertSuccess(p);
+            r.assertLogContains("Workspace manifest: 1 files, no previous manifest", b1);
+            r.assertLogContains("previous: false", b1);
+            r.assertLogContains("changes: A file", b1);
+            sampleGitRepo.write("nextfile", "");
+            sampleGitRepo.git("add", "nextfile");
+            sampleGitRepo.git("commit", "--message=next");
+            WorkflowRun b2 = r.buildAndAssertSuccess(p);
+            r.assertLogContains("Workspace manifest: 1 added, 0 modified, 0 removed, 1 unchanged; hashed 1 files", b2);
+            r.assertLogContains("changes: A nextfile", b2);
+            r.assertLogContains("previous: true", b2);
+            sampleGitRepo.write("file", "modified");
+            sampleGitRepo.git("rm", "nextfile");
+            sampleGitRepo.git("commit", "--all", "--message=third");
+            WorkflowRun b3 = r.buildAndAssertSuccess(p);
+            r.assertLogContains("Workspace manifest: 0 added, 1 modified, 1 removed, 0 unchanged; hashed 1 files", b3);
+            r.assertLogContains("changes: M file", b3);
+            r.assertLogContains("D nextfile", b3);
+            WorkflowRun b4 = r.buildAndAssertSuccess(p);
+            // Nothing changed, so neither size nor modification time did, and nothing is hashed.
+            r.assertLogContains("Workspace manifest: 0 added, 0 modified, 0 removed, 1 unchanged; hashed 0 files", b4);
+            p.setDefinition(new CpsFlowDefinition(
+                    "node {\n" +
+                    "  checkout scm: [$class: 'GitSCM', userRemoteConfigs: [[url: $/" + sampleGitRepo + "/$]]], manifest: true, revisionOnly: true\n" +
+                    "}", true));
+            r.assertLogContains("manifest cannot be combined with revisionOnly", r.buildAndAssertStatus(Result.FAILURE, p));
+        });
+    }
+
     private static void assertPolling(WorkflowJob p, PollingResult.Change expectedChange) {
         assertEquals(expectedChange, p.poll(StreamTaskListener.fromStdout()).change);
     }
@@ -297,4 +369,128 @@ class SCMStepTest {
             assertEquals(Collections.singleton("alice1"), b.getCulpritIds());
         });
     }
+
+    @Test
+    void checkoutAttemptTimeout() throws Throwable {
+        extension.then(r -> {
+            r.jenkins.setScmCheckoutRetryCount(1);
+            SCMStep.CHECKOUT_ATTEMPT_TIMEOUT = 3;
+            SCMStep.CHECKOUT_RETRY_DELAY = 0;
+            try {
+                WorkflowJob p = r.jenkins.createProject(WorkflowJob.class, "p");
+                p.setDefinition(new CpsFlowDefinition(
+                        """
+                                import org.jenkinsci.plugins.workflow.steps.scm.HangingSCM
+                                def testSCM = new HangingSCM(1)
+                                testSCM.addChange().withAuthor(/alice$BUILD_NUMBER/)
+                                node() {
+                                  checkout(testSCM)
+                                }""", false));
+                WorkflowRun b = r.buildAndAssertSuccess(p);
+                r.assertLogContains("Checkout attempt timed out after 3 sec", b);
+                r.assertLogContains("Retrying after 0 seconds", b);
+                assertEquals(Collections.singleton("alice1"), b.getCulpritIds());
+                p.setDefinition(new CpsFlowDefinition(
+                        """
+                                import org.jenkinsci.plugins.workflow.steps.scm.HangingSCM
+                                node() {
+                                  checkout(new HangingSCM(2))
+                                }""", false));
+                b = r.buildAndAssertStatus(Result.FAILURE, p);
+                r.assertLogContains("Maximum checkout retry attempts reached, aborting", b);
+                p.setDefinition(new CpsFlowDefinition(
+                        """
+                                import org.jenkinsci.plugins.workflow.steps.scm.HangingSCM
+                                def testSCM = new HangingSCM(1)
+                                testSCM.wrapInterrupt = true
+                                node() {
+                                  checkout(testSCM)
+                                }""", false));
+                b = r.buildAndAssertSuccess(p);
+                r.assertLogContains("Checkout attempt timed out after 3 sec", b);
+                r.assertLogNotContains("Checkout failed", b);
+            } finally {
+                SCMStep.CHECKOUT_ATTEMPT_TIMEOUT = 0;
+                SCMStep.CHECKOUT_RETRY_DELAY = 10;
+            }
+        });
+    }
+
+    @Test
+    void checkoutTimeout() throws Throwable {
+        extension.then(r -> {
+            r.jenkins.setScmCheckoutRetryCount(1);
+            SCMStep.CHECKOUT_TIMEOUT = 5;
+            SCMStep.CHECKOUT_ATTEMPT_TIMEOUT = 2;
+            try {
+                WorkflowJob p = r.jenkins.createProject(WorkflowJob.class, "p");
+                p.setDefinition(new CpsFlowDefinition(
+                        """
+                                import org.jenkinsci.plugins.workflow.steps.scm.HangingSCM
+                                node() {
+                                  checkout(new HangingSCM(2))
+                                }""", false));
+                // The first attempt times out after 2 seconds, leaving too little time to wait 10 seconds and retry.
+                WorkflowRun b = r.buildAndAssertStatus(Result.FAILURE, p);
+                r.assertLogContains("Checkout attempt timed out after 2 sec", b);
+                r.assertLogContains("Checkout did not complete within 5 sec", b);
+                r.assertLogNotContains("Retrying after", b);
+            } finally {
+                SCMStep.CHECKOUT_TIMEOUT = 0;
+                SCMStep.CHECKOUT_ATTEMPT_TIMEOUT = 0;
+            }
+        });
+    }
+
+    @Test
+    void abortDuringCheckoutAttempt() throws Throwable {
+        extension.then(r -> {
+            r.jenkins.setScmCheckoutRetryCount(1);
+            SCMStep.CHECKOUT_ATTEMPT_TIMEOUT = 60;
+            SCMStep.CHECKOUT_RETRY_DELAY = 0;
+            try {
+                WorkflowJob p = r.jenkins.createProject(WorkflowJob.class, "p");
+                p.setDefinition(new CpsFlowDefinition(
+                        """
+                                import org.jenkinsci.plugins.workflow.steps.scm.HangingSCM
+                                node() {
+                                  checkout(new HangingSCM(1))
+                                }""", false));
+                WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+                r.waitForMessage("Checkout hanging", b);
+                b.doStop();
+                r.assertBuildStatus(Result.ABORTED, r.waitForCompletion(b));
+                r.assertLogNotContains("Checkout attempt timed out", b);
+                r.assertLogNotContains("Retrying after", b);
+            } finally {
+                SCMStep.CHECKOUT_ATTEMPT_TIMEOUT = 0;
+                SCMStep.CHECKOUT_RETRY_DELAY = 10;
+            }
+        });
+    }
+
+    @Test
+    void abortDuringRetryWait() throws Throwable {
+        extension.then(r -> {
+            r.jenkins.setScmCheckoutRetryCount(1);
+            SCMStep.CHECKOUT_RETRY_DELAY = 300;
+            try {
+                WorkflowJob p = r.jenkins.createProject(WorkflowJob.class, "p");
+                p.setDefinition(new CpsFlowDefinition(
+                        """
+                                import org.jenkinsci.plugins.workflow.steps.scm.UnstableSCM
+                                node() {
+                                  checkout(new UnstableSCM(1))
+                                }""", false));
+                WorkflowRun b = p.scheduleBuild2(0).waitForStart();
+                r.waitForMessage("Retrying after 300 seconds", b);
+                b.doStop();
+                // Had the wait not been interrupted, the second attempt would have succeeded after five minutes.
+                r.assertBuildStatus(Result.ABORTED, r.waitForCompletion(b));
+                assertTrue(b.getDuration() < TimeUnit.SECONDS.toMillis(60), () -> "took " + b.getDuration() + "ms");
+            } finally {
+                SCMStep.CHECKOUT_RETRY_DELAY = 10;
+            }
+        });
+    }
 }